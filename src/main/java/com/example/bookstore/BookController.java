@@ -2,14 +2,23 @@
 package com.example.bookstore;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,11 +30,28 @@ public class BookController {
     // Static dependency - hard to mock
     private static BookService bookService = new BookService();
 
+    // The application's ObjectMapper, so spring.jackson.* settings apply to the JSON
+    // listings. The servlet container owns the response stream, so it must not be closed.
+    private final ObjectWriter jsonWriter;
+
+    public BookController(ObjectMapper objectMapper) {
+        this.jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
     @GetMapping
-    public List<Book> getAllBooks() throws Exception {
+    public ResponseEntity<StreamingResponseBody> getAllBooks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws Exception {
         // Direct file I/O in controller
         logRequest("GET /api/books");
 
+        // Negotiated here rather than by the message converters, which would otherwise
+        // serialize the enriched List<Book> as CBOR/Smile instead of streaming it.
+        // CBOR and Smile carry only the persisted fields, see BookStreamWriter.
+        BookWireFormat format = negotiate(accept);
+        if (format.isBinary()) {
+            return streamed(format, out -> bookService.streamAllBooks(format, out));
+        }
+
         List<Book> books = bookService.findAllBooks();
 
         // Business logic mixed in controller
@@ -36,7 +62,7 @@ public class BookController {
             }
         }
 
-        return books;
+        return json(books);
     }
 
     @GetMapping("/{id}")
@@ -48,14 +74,8 @@ public class BookController {
             throw new RuntimeException("Book not found with id: " + id);
         }
 
-        // Direct database call in controller
-        Connection conn = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/bookstore", "root", "password");
-        PreparedStatement stmt = conn.prepareStatement(
-                "UPDATE books SET view_count = view_count + 1 WHERE id = ?");
-        stmt.setLong(1, id);
-        stmt.executeUpdate();
-        conn.close();
+        // Counted through the service so the analytics snapshot sees it too
+        bookService.recordView(id);
 
         return book;
     }
@@ -125,9 +145,15 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    public List<Book> searchBooks(@RequestParam String query) throws Exception {
+    public ResponseEntity<StreamingResponseBody> searchBooks(@RequestParam String query,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws Exception {
         logRequest("GET /api/books/search?query=" + query);
 
+        BookWireFormat format = negotiate(accept);
+        if (format.isBinary()) {
+            return streamed(format, out -> bookService.streamSearchResults(query, format, out));
+        }
+
         List<Book> allBooks = bookService.findAllBooks();
         List<Book> results = new ArrayList<>();
 
@@ -139,7 +165,7 @@ public class BookController {
             }
         }
 
-        return results;
+        return json(results);
     }
 
     @GetMapping("/reports/sales")
@@ -169,6 +195,65 @@ public class BookController {
         return report;
     }
 
+    @GetMapping("/reports/price-histogram")
+    public Map<String, Object> getPriceHistogram(@RequestParam(defaultValue = "10") int buckets) throws Exception {
+        logRequest("GET /api/books/reports/price-histogram?buckets=" + buckets);
+
+        if (buckets < 1 || buckets > CatalogAnalytics.MAX_BUCKETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "buckets must be between 1 and " + CatalogAnalytics.MAX_BUCKETS);
+        }
+
+        return bookService.getCatalogAnalytics().priceHistogram(buckets);
+    }
+
+    @GetMapping("/reports/revenue-by-author")
+    public Map<String, Double> getRevenueByAuthor() throws Exception {
+        logRequest("GET /api/books/reports/revenue-by-author");
+
+        return bookService.getCatalogAnalytics().revenueByAuthor();
+    }
+
+    @GetMapping("/reports/view-percentiles")
+    public Map<String, Integer> getViewCountPercentiles() throws Exception {
+        logRequest("GET /api/books/reports/view-percentiles");
+
+        return bookService.getCatalogAnalytics().viewCountPercentiles(50, 90, 95, 99);
+    }
+
+    private static BookWireFormat negotiate(String accept) throws HttpMediaTypeNotAcceptableException {
+        BookWireFormat format = BookWireFormat.negotiate(accept);
+        if (format == null) {
+            throw new HttpMediaTypeNotAcceptableException(BookWireFormat.mediaTypes());
+        }
+        return format;
+    }
+
+    private ResponseEntity<StreamingResponseBody> json(List<Book> books) {
+        return ResponseEntity.ok()
+                .contentType(BookWireFormat.JSON.getMediaType())
+                .body(out -> jsonWriter.writeValue(out, books));
+    }
+
+    // Rows are read from the database while the response is being written. A query that
+    // fails up front writes nothing, so the error is answered with an error status; a
+    // failure part-way propagates so the container aborts the response instead of ending it cleanly.
+    private ResponseEntity<StreamingResponseBody> streamed(BookWireFormat format, BookStream stream) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(out -> {
+                    try {
+                        stream.writeTo(out);
+                    } catch (SQLException e) {
+                        throw new IOException("Failed to stream books", e);
+                    }
+                });
+    }
+
+    private interface BookStream {
+        void writeTo(OutputStream out) throws SQLException, IOException;
+    }
+
     // Hardcoded logging method
     private void logRequest(String request) {
         try {
@@ -32,6 +32,23 @@ public class BookRepository {
         return books;
     }
 
+    // Runs the listing query and returns a cursor over its rows. The query has already
+    // executed when this returns, so callers can fail cleanly before writing any output.
+    public BookCursor openCursor() throws SQLException {
+        BookCursor cursor = new BookCursor(DriverManager.getConnection(DB_URL, USER, PASS));
+        try {
+            cursor.open("SELECT * FROM books ORDER BY title");
+            return cursor;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                cursor.close();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
     public Book findById(Long id) throws SQLException {
         Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
         PreparedStatement stmt = conn.prepareStatement("SELECT * FROM books WHERE id = ?");
@@ -113,8 +130,41 @@ public class BookRepository {
         conn.close();
     }
 
+    // Streams only the analytics columns straight into the snapshot, without Book objects
+    public void loadSnapshot(CatalogSnapshot snapshot) throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL, USER, PASS);
+        // Cursor-based fetching needs a transaction on most drivers
+        conn.setAutoCommit(false);
+        Statement stmt = null;
+        ResultSet rs = null;
+
+        snapshot.beginLoad();
+        try {
+            stmt = conn.createStatement();
+            stmt.setFetchSize(10000);
+            rs = stmt.executeQuery("SELECT id, author, price, view_count FROM books");
+            while (rs.next()) {
+                snapshot.load(rs.getLong("id"), rs.getString("author"),
+                        rs.getDouble("price"), rs.getInt("view_count"));
+            }
+        } finally {
+            snapshot.endLoad();
+            if (rs != null) {
+                rs.close();
+            }
+            if (stmt != null) {
+                stmt.close();
+            }
+            conn.rollback();
+            conn.close();
+        }
+    }
+
     private Book mapResultSetToBook(ResultSet rs) throws SQLException {
-        Book book = new Book();
+        return mapResultSetToBook(rs, new Book());
+    }
+
+    private Book mapResultSetToBook(ResultSet rs, Book book) throws SQLException {
         book.setId(rs.getLong("id"));
         book.setTitle(rs.getString("title"));
         book.setAuthor(rs.getString("author"));
@@ -124,4 +174,47 @@ public class BookRepository {
         book.setViewCount(rs.getInt("view_count"));
         return book;
     }
+
+    // Rows of an open query, fetched from the database in batches as next() is called.
+    // The same Book instance is returned for every row, so callers must not keep it.
+    public class BookCursor implements AutoCloseable {
+        private final Connection conn;
+        private Statement stmt;
+        private ResultSet rs;
+        private final Book book = new Book();
+
+        private BookCursor(Connection conn) {
+            this.conn = conn;
+        }
+
+        private void open(String sql) throws SQLException {
+            // Cursor-based fetching needs a transaction on most drivers
+            conn.setAutoCommit(false);
+            stmt = conn.createStatement();
+            stmt.setFetchSize(1000);
+            rs = stmt.executeQuery(sql);
+        }
+
+        // The next row, or null once all rows have been read
+        public Book next() throws SQLException {
+            return rs.next() ? mapResultSetToBook(rs, book) : null;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+                if (stmt != null) {
+                    stmt.close();
+                }
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                }
+            } finally {
+                conn.close();
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -10,6 +10,9 @@ public class BookService {
     // Static dependencies
     private static BookRepository bookRepository = new BookRepository();
     private static AuthorRepository authorRepository = new AuthorRepository();
+    private static CatalogSnapshot catalogSnapshot = new CatalogSnapshot();
+    private static CatalogAnalytics catalogAnalytics = new CatalogAnalytics(catalogSnapshot);
+    private static volatile boolean snapshotLoaded = false;
     
     public List<Book> findAllBooks() throws SQLException {
         List<Book> books = bookRepository.findAll();
@@ -25,6 +28,32 @@ public class BookService {
         return books;
     }
     
+    // Streams the catalog in the given format without building a List<Book> or enriching rows.
+    // The cursor is opened before the writer so a failing query writes nothing at all.
+    public void streamAllBooks(BookWireFormat format, OutputStream out) throws SQLException, IOException {
+        try (BookRepository.BookCursor cursor = bookRepository.openCursor()) {
+            BookStreamWriter writer = new BookStreamWriter(format, out);
+            for (Book book = cursor.next(); book != null; book = cursor.next()) {
+                writer.write(book);
+            }
+            writer.finish();
+        }
+    }
+    
+    public void streamSearchResults(String query, BookWireFormat format, OutputStream out) throws SQLException, IOException {
+        String needle = query.toLowerCase();
+        try (BookRepository.BookCursor cursor = bookRepository.openCursor()) {
+            BookStreamWriter writer = new BookStreamWriter(format, out);
+            for (Book book = cursor.next(); book != null; book = cursor.next()) {
+                if (book.getTitle().toLowerCase().contains(needle) ||
+                        book.getAuthor().toLowerCase().contains(needle)) {
+                    writer.write(book);
+                }
+            }
+            writer.finish();
+        }
+    }
+    
     public Book findBookById(Long id) throws SQLException {
         if (id == null || id <= 0) {
             return null;
@@ -59,6 +88,8 @@ public class BookService {
         // Mixed responsibilities - recommendation engine update
         updateRecommendations(savedBook);
         
+        catalogSnapshot.insert(savedBook.getId(), savedBook.getAuthor(), savedBook.getPrice());
+        
         return savedBook;
     }
     
@@ -70,6 +101,8 @@ public class BookService {
         // Clear cache after update (tightly coupled caching)
         clearBookCache();
         
+        catalogSnapshot.update(updatedBook.getId(), updatedBook.getAuthor(), updatedBook.getPrice());
+        
         return updatedBook;
     }
     
@@ -79,6 +112,7 @@ public class BookService {
             // Cascade delete logic mixed in service
             authorRepository.decrementBookCount(book.getAuthor());
             bookRepository.deleteById(id);
+            catalogSnapshot.remove(id);
             
             // Clear cache
             clearBookCache();
@@ -88,6 +122,36 @@ public class BookService {
         }
     }
     
+    // Every view_count increment goes through here so the snapshot moves with the database
+    public void recordView(Long id) throws SQLException {
+        Connection conn = DriverManager.getConnection(
+            "jdbc:mysql://localhost:3306/bookstore", "root", "password");
+        PreparedStatement stmt = conn.prepareStatement(
+            "UPDATE books SET view_count = view_count + 1 WHERE id = ?");
+        stmt.setLong(1, id);
+        stmt.executeUpdate();
+        conn.close();
+        catalogSnapshot.incrementViewCount(id);
+    }
+    
+    public CatalogAnalytics getCatalogAnalytics() throws SQLException {
+        ensureSnapshotLoaded();
+        return catalogAnalytics;
+    }
+    
+    // The snapshot is filled from the database once, then kept current by the write path.
+    private static void ensureSnapshotLoaded() throws SQLException {
+        if (snapshotLoaded) {
+            return;
+        }
+        synchronized (BookService.class) {
+            if (!snapshotLoaded) {
+                bookRepository.loadSnapshot(catalogSnapshot);
+                snapshotLoaded = true;
+            }
+        }
+    }
+    
     // Private methods with mixed responsibilities
     private void validateBook(Book book) {
         if (book == null) {
@@ -130,13 +194,7 @@ public class BookService {
     
     private void updateViewCount(Book book) {
         try {
-            Connection conn = DriverManager.getConnection(
-                "jdbc:mysql://localhost:3306/bookstore", "root", "password");
-            PreparedStatement stmt = conn.prepareStatement(
-                "UPDATE books SET view_count = view_count + 1 WHERE id = ?");
-            stmt.setLong(1, book.getId());
-            stmt.executeUpdate();
-            conn.close();
+            recordView(book.getId());
         } catch (SQLException e) {
             // Ignoring SQL exceptions
             System.err.println("Failed to update view count");
@@ -0,0 +1,51 @@
+// BookStreamWriter.java
+package com.example.bookstore;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Writes books one at a time as an array in the given wire format, so a listing
+// never has to be held in memory. This is a reduced view of a book: only persisted
+// fields are written. The JSON listing also carries genre and description, which
+// come from a slow per-book external lookup, and the computed discount fields.
+// The array is only closed by finish(). A writer abandoned after a failure is not
+// flushed: if nothing was sent yet the caller can still answer with an error, and
+// otherwise the payload is left truncated so a reader can tell it from a short list.
+public class BookStreamWriter {
+
+    private final JsonGenerator generator;
+
+    public BookStreamWriter(BookWireFormat format, OutputStream out) throws IOException {
+        this.generator = format.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.writeStartArray();
+    }
+
+    public void write(Book book) throws IOException {
+        generator.writeStartObject();
+        if (book.getId() != null) {
+            generator.writeNumberField("id", book.getId());
+        }
+        writeStringField("title", book.getTitle());
+        writeStringField("author", book.getAuthor());
+        generator.writeNumberField("price", book.getPrice());
+        writeStringField("isbn", book.getIsbn());
+        writeStringField("internalCode", book.getInternalCode());
+        generator.writeNumberField("viewCount", book.getViewCount());
+        generator.writeEndObject();
+    }
+
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    private void writeStringField(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
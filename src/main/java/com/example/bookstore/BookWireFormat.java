@@ -0,0 +1,89 @@
+// BookWireFormat.java
+package com.example.bookstore;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Encodings offered by the bulk read endpoints. The factories are thread-safe and shared.
+public enum BookWireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, new JsonFactory()),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory()),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"), new SmileFactory());
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    BookWireFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() { return mediaType; }
+
+    public JsonFactory getFactory() { return factory; }
+
+    public boolean isBinary() { return this != JSON; }
+
+    public static List<MediaType> mediaTypes() {
+        List<MediaType> types = new ArrayList<>();
+        for (BookWireFormat format : values()) {
+            types.add(format.mediaType);
+        }
+        return types;
+    }
+
+    // Orders the Accept header by quality, and at equal quality puts concrete types before
+    // wildcards, then serves the first entry one of the formats matches. Types the client
+    // lists with q=0 are never chosen. A missing header means JSON; an unparseable one, or
+    // one no format can serve, returns null so the caller can answer 406.
+    public static BookWireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+
+        Set<BookWireFormat> refused = EnumSet.noneOf(BookWireFormat.class);
+        for (MediaType type : accepted) {
+            for (BookWireFormat format : values()) {
+                if (type.getQualityValue() == 0 && format.mediaType.equalsTypeAndSubtype(type)) {
+                    refused.add(format);
+                }
+            }
+        }
+
+        // List.sort is stable, so equally preferred types keep the client's order
+        accepted.sort((a, b) -> {
+            int byQuality = Double.compare(b.getQualityValue(), a.getQualityValue());
+            return byQuality != 0 ? byQuality : Integer.compare(wildcards(a), wildcards(b));
+        });
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (BookWireFormat format : values()) {
+                if (!refused.contains(format) && type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int wildcards(MediaType type) {
+        return (type.isWildcardType() ? 1 : 0) + (type.isWildcardSubtype() ? 1 : 0);
+    }
+}
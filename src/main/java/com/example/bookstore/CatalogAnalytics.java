@@ -0,0 +1,200 @@
+// CatalogAnalytics.java
+package com.example.bookstore;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+// Aggregations over a CatalogSnapshot. Every query is a flat indexed loop over
+// primitive columns, with no boxing and no Book objects; large catalogs are split
+// across the common fork/join pool.
+public class CatalogAnalytics {
+
+    // Same assumed conversion rate as the sales report
+    static final double CONVERSION_RATE = 0.1;
+
+    // Each fork/join leaf allocates its own bucket array, so the count is bounded
+    static final int MAX_BUCKETS = 1000;
+
+    // Below this many rows a single thread is faster than splitting
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final CatalogSnapshot snapshot;
+
+    public CatalogAnalytics(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Map<String, Object> priceHistogram(int bucketCount) {
+        if (bucketCount <= 0 || bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Bucket count must be between 1 and " + MAX_BUCKETS);
+        }
+        snapshot.lock().readLock().lock();
+        try {
+            int rows = snapshot.rows();
+            DoubleBuffer prices = snapshot.prices();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            if (rows == 0) {
+                result.put("bucketCount", bucketCount);
+                result.put("buckets", new long[bucketCount]);
+                return result;
+            }
+
+            double[] range = reduce(rows, (from, to) -> {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = from; i < to; i++) {
+                    double p = prices.get(i);
+                    min = Math.min(min, p);
+                    max = Math.max(max, p);
+                }
+                return new double[] {min, max};
+            }, (a, b) -> new double[] {Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+
+            double min = range[0];
+            double max = range[1];
+            double width = (max - min) / bucketCount;
+            double scale = width > 0 ? 1.0 / width : 0.0;
+            int lastBucket = bucketCount - 1;
+
+            long[] buckets = reduce(rows, (from, to) -> {
+                long[] counts = new long[bucketCount];
+                for (int i = from; i < to; i++) {
+                    int b = (int) ((prices.get(i) - min) * scale);
+                    counts[Math.min(b, lastBucket)]++;
+                }
+                return counts;
+            }, CatalogAnalytics::addInto);
+
+            result.put("bucketCount", bucketCount);
+            result.put("minPrice", min);
+            result.put("maxPrice", max);
+            result.put("bucketWidth", width);
+            result.put("buckets", buckets);
+            return result;
+        } finally {
+            snapshot.lock().readLock().unlock();
+        }
+    }
+
+    public Map<String, Double> revenueByAuthor() {
+        snapshot.lock().readLock().lock();
+        try {
+            return revenueBy(snapshot.authorCodes(), snapshot.authors());
+        } finally {
+            snapshot.lock().readLock().unlock();
+        }
+    }
+
+    public Map<String, Integer> viewCountPercentiles(double... percentiles) {
+        snapshot.lock().readLock().lock();
+        try {
+            int rows = snapshot.rows();
+            int[] sorted = new int[rows];
+            snapshot.viewCounts().get(0, sorted, 0, rows);
+            Arrays.parallelSort(sorted);
+
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (double p : percentiles) {
+                if (p < 0 || p > 100) {
+                    throw new IllegalArgumentException("Percentile must be between 0 and 100");
+                }
+                String key = "p" + (p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p));
+                if (rows == 0) {
+                    result.put(key, 0);
+                    continue;
+                }
+                // Nearest-rank method
+                int rank = (int) Math.ceil(p / 100.0 * rows);
+                result.put(key, sorted[Math.max(rank, 1) - 1]);
+            }
+            return result;
+        } finally {
+            snapshot.lock().readLock().unlock();
+        }
+    }
+
+    private Map<String, Double> revenueBy(IntBuffer codes, CatalogSnapshot.Dictionary dictionary) {
+        int rows = snapshot.rows();
+        int groups = dictionary.size();
+        DoubleBuffer prices = snapshot.prices();
+        IntBuffer viewCounts = snapshot.viewCounts();
+
+        double[] totals = reduce(rows, (from, to) -> {
+            double[] sums = new double[groups];
+            for (int i = from; i < to; i++) {
+                sums[codes.get(i)] += prices.get(i) * viewCounts.get(i);
+            }
+            return sums;
+        }, CatalogAnalytics::addInto);
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int code = 0; code < groups; code++) {
+            if (totals[code] != 0) {
+                result.put(dictionary.decode(code), totals[code] * CONVERSION_RATE);
+            }
+        }
+        return result;
+    }
+
+    private static <R> R reduce(int rows, RangeFunction<R> leaf, BinaryOperator<R> combiner) {
+        if (rows < PARALLEL_THRESHOLD) {
+            return leaf.apply(0, rows);
+        }
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(0, rows, leaf, combiner));
+    }
+
+    private static long[] addInto(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    private static double[] addInto(double[] a, double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+        return a;
+    }
+
+    @FunctionalInterface
+    interface RangeFunction<R> {
+        R apply(int from, int to);
+    }
+
+    private static class RangeTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final RangeFunction<R> leaf;
+        private final BinaryOperator<R> combiner;
+
+        RangeTask(int from, int to, RangeFunction<R> leaf, BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return leaf.apply(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<R> left = new RangeTask<>(from, mid, leaf, combiner);
+            RangeTask<R> right = new RangeTask<>(mid, to, leaf, combiner);
+            left.fork();
+            R rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+// CatalogSnapshot.java
+package com.example.bookstore;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Columnar, primitive-typed copy of the catalog kept in direct (off-heap) buffers.
+// Rows are dense: a delete moves the last row into the freed slot, so every column
+// can be scanned from 0 to size() without holes. Only persisted columns are kept;
+// genre is not stored, so there is nothing to group by it yet.
+public class CatalogSnapshot {
+
+    static final String UNKNOWN = "Unknown";
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LongBuffer ids;
+    private DoubleBuffer prices;
+    private IntBuffer viewCounts;
+    private IntBuffer authorCodes;
+    private int capacity;
+    private int size;
+
+    private final RowIndex rowsById = new RowIndex();
+
+    private final Dictionary authors = new Dictionary();
+
+    // Writes seen while a bulk load is in progress, see beginLoad()
+    private boolean loading;
+    private final Set<Long> removedDuringLoad = new HashSet<>();
+    private final Map<Long, PendingUpdate> pendingUpdates = new HashMap<>();
+    private final Map<Long, Integer> pendingViews = new HashMap<>();
+
+    public CatalogSnapshot() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // Direct fill for tests and benchmarks; the application goes through insert() and load()
+    void upsert(long id, String author, double price, int viewCount) {
+        lock.writeLock().lock();
+        try {
+            put(id, author, price, viewCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Write path for a newly saved book: only persisted columns, view count starts at zero
+    public void insert(Long id, String author, double price) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row < 0) {
+                put(id, author, price, 0);
+            } else {
+                authorCodes.put(row, authors.encode(author));
+                prices.put(row, price);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Write path for an updated book: the view count is left as the snapshot has it
+    public void update(Long id, String author, double price) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row >= 0) {
+                authorCodes.put(row, authors.encode(author));
+                prices.put(row, price);
+            } else if (loading) {
+                pendingUpdates.put(id, new PendingUpdate(author, price));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void incrementViewCount(Long id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(id);
+            if (row >= 0) {
+                viewCounts.put(row, viewCounts.get(row) + 1);
+            } else if (loading) {
+                pendingViews.merge(id, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                removedDuringLoad.add(id);
+                pendingUpdates.remove(id);
+                pendingViews.remove(id);
+            }
+            int row = rowsById.remove(id);
+            if (row < 0) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                long movedId = ids.get(last);
+                ids.put(row, movedId);
+                prices.put(row, prices.get(last));
+                viewCounts.put(row, viewCounts.get(last));
+                authorCodes.put(row, authorCodes.get(last));
+                rowsById.put(movedId, row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A bulk load reads rows through a cursor while the write path keeps running. Between
+    // beginLoad() and endLoad() writes to rows the cursor has not reached yet are remembered
+    // and applied when (or instead of) loading that row, so the load never resurrects a
+    // deleted book or overwrites a newer value with the one the cursor read.
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            rowsById.clear();
+            size = 0;
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(long id, String author, double price, int viewCount) {
+        lock.writeLock().lock();
+        try {
+            // Removed, or already written by the write path, since the load began
+            if (removedDuringLoad.contains(id) || rowsById.get(id) >= 0) {
+                return;
+            }
+            PendingUpdate update = pendingUpdates.remove(id);
+            if (update != null) {
+                author = update.author;
+                price = update.price;
+            }
+            Integer views = pendingViews.remove(id);
+            put(id, author, price, viewCount + (views == null ? 0 : views));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            removedDuringLoad.clear();
+            pendingUpdates.clear();
+            pendingViews.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Readers must hold the read lock for the whole scan so a concurrent write
+    // cannot grow (and replace) the buffers underneath them.
+    ReadWriteLock lock() { return lock; }
+
+    int rows() { return size; }
+
+    // Row index of the book, or -1 if it is not in the snapshot
+    int rowOf(long id) { return rowsById.get(id); }
+
+    DoubleBuffer prices() { return prices; }
+
+    IntBuffer viewCounts() { return viewCounts; }
+
+    IntBuffer authorCodes() { return authorCodes; }
+
+    Dictionary authors() { return authors; }
+
+    // Caller holds the write lock
+    private void put(long id, String author, double price, int viewCount) {
+        int row = rowsById.get(id);
+        if (row < 0) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowsById.put(id, row);
+            ids.put(row, id);
+        }
+        prices.put(row, price);
+        viewCounts.put(row, viewCount);
+        authorCodes.put(row, authors.encode(author));
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = capacity;
+        while (newCapacity < required) {
+            newCapacity <<= 1;
+        }
+
+        LongBuffer oldIds = ids;
+        DoubleBuffer oldPrices = prices;
+        IntBuffer oldViewCounts = viewCounts;
+        IntBuffer oldAuthorCodes = authorCodes;
+
+        allocate(newCapacity);
+
+        ids.put(0, oldIds, 0, size);
+        prices.put(0, oldPrices, 0, size);
+        viewCounts.put(0, oldViewCounts, 0, size);
+        authorCodes.put(0, oldAuthorCodes, 0, size);
+    }
+
+    private void allocate(int newCapacity) {
+        ids = direct(newCapacity, Long.BYTES).asLongBuffer();
+        prices = direct(newCapacity, Double.BYTES).asDoubleBuffer();
+        viewCounts = direct(newCapacity, Integer.BYTES).asIntBuffer();
+        authorCodes = direct(newCapacity, Integer.BYTES).asIntBuffer();
+        capacity = newCapacity;
+    }
+
+    private static ByteBuffer direct(int capacity, int width) {
+        return ByteBuffer.allocateDirect(capacity * width).order(ByteOrder.nativeOrder());
+    }
+
+    private static class PendingUpdate {
+        final String author;
+        final double price;
+
+        PendingUpdate(String author, double price) {
+            this.author = author;
+            this.price = price;
+        }
+    }
+
+    // Book id -> row index as an open-addressing hash table with linear probing, held in
+    // direct buffers like the columns so the index adds no per-row heap objects. A slot
+    // whose row is -1 is empty; deletes shift later entries back instead of leaving
+    // tombstones. The table is kept at most half full.
+    static class RowIndex {
+        private static final int EMPTY = -1;
+
+        private LongBuffer keys;
+        private IntBuffer rows;
+        private int mask;
+        private int size;
+
+        RowIndex() {
+            allocate(INITIAL_CAPACITY * 2);
+        }
+
+        int get(long id) {
+            for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+                int row = rows.get(slot);
+                if (row == EMPTY || keys.get(slot) == id) {
+                    return row;
+                }
+            }
+        }
+
+        void put(long id, int row) {
+            if ((size + 1) * 2 > mask + 1) {
+                rehash((mask + 1) * 2);
+            }
+            int slot = slot(id);
+            while (rows.get(slot) != EMPTY && keys.get(slot) != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (rows.get(slot) == EMPTY) {
+                size++;
+            }
+            keys.put(slot, id);
+            rows.put(slot, row);
+        }
+
+        // Returns the row the id was mapped to, or -1
+        int remove(long id) {
+            int slot = slot(id);
+            while (rows.get(slot) != EMPTY && keys.get(slot) != id) {
+                slot = (slot + 1) & mask;
+            }
+            int removed = rows.get(slot);
+            if (removed == EMPTY) {
+                return EMPTY;
+            }
+            size--;
+            // Move back every later entry of the probe run that would otherwise become
+            // unreachable once this slot is empty
+            int free = slot;
+            for (int next = (free + 1) & mask; rows.get(next) != EMPTY; next = (next + 1) & mask) {
+                int home = slot(keys.get(next));
+                boolean reachable = free <= next
+                        ? free < home && home <= next
+                        : free < home || home <= next;
+                if (!reachable) {
+                    keys.put(free, keys.get(next));
+                    rows.put(free, rows.get(next));
+                    free = next;
+                }
+            }
+            rows.put(free, EMPTY);
+            return removed;
+        }
+
+        void clear() {
+            for (int slot = 0; slot <= mask; slot++) {
+                rows.put(slot, EMPTY);
+            }
+            size = 0;
+        }
+
+        private int slot(long id) {
+            // Fibonacci hashing spreads sequential ids across the table
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+
+        private void rehash(int newCapacity) {
+            LongBuffer oldKeys = keys;
+            IntBuffer oldRows = rows;
+            int oldCapacity = mask + 1;
+            allocate(newCapacity);
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                int row = oldRows.get(slot);
+                if (row != EMPTY) {
+                    put(oldKeys.get(slot), row);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = direct(capacity, Long.BYTES).asLongBuffer();
+            rows = direct(capacity, Integer.BYTES).asIntBuffer();
+            mask = capacity - 1;
+            size = 0;
+            clear();
+        }
+    }
+
+    // Maps repeated strings (author names) to dense int codes. Codes are never
+    // reclaimed, which keeps existing rows valid without a rewrite.
+    static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            String key = (value == null || value.isBlank()) ? UNKNOWN : value;
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = values.size();
+                codes.put(key, code);
+                values.add(key);
+            }
+            return code;
+        }
+
+        String decode(int code) { return values.get(code); }
+
+        int size() { return values.size(); }
+    }
+}
@@ -0,0 +1,26 @@
+// StatusController.java
+package com.example.bookstore;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// Cheap readiness check: answers once the web layer is up and the Spring-managed
+// DataSource can run a query. Used as the startup benchmark's probe.
+@RestController
+public class StatusController {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatusController(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @GetMapping("/api/status")
+    public Map<String, String> status() {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        return Map.of("status", "UP");
+    }
+}
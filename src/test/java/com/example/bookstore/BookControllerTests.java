@@ -0,0 +1,62 @@
+package com.example.bookstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// No database is reachable here, so every query fails: that is the error path under test
+class BookControllerTests {
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(new BookController(new ObjectMapper())).build();
+	}
+
+	@Test
+	void binaryListingThatFailsBeforeTheFirstRowLeavesTheResponseUncommitted() throws Exception {
+		for (BookWireFormat format : new BookWireFormat[] {BookWireFormat.CBOR, BookWireFormat.SMILE}) {
+			MvcResult result = mockMvc.perform(get("/api/books").accept(format.getMediaType()))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			assertInstanceOf(IOException.class, result.getAsyncResult(), format.name());
+			assertFalse(result.getResponse().isCommitted(), format.name());
+			assertEquals(0, result.getResponse().getContentAsByteArray().length, format.name());
+		}
+	}
+
+	@Test
+	void binarySearchThatFailsBeforeTheFirstRowLeavesTheResponseUncommitted() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/books/search").param("query", "dune")
+						.accept(BookWireFormat.CBOR.getMediaType()))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		assertInstanceOf(IOException.class, result.getAsyncResult());
+		assertFalse(result.getResponse().isCommitted());
+		assertEquals(0, result.getResponse().getContentAsByteArray().length);
+	}
+
+	@Test
+	void unservableAcceptIsRejected() throws Exception {
+		mockMvc.perform(get("/api/books").header("Accept", "application/xml"))
+				.andExpect(status().isNotAcceptable());
+		mockMvc.perform(get("/api/books/search").param("query", "dune").header("Accept", "text/html"))
+				.andExpect(status().isNotAcceptable());
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.example.bookstore;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookStreamWriterTests {
+
+	private static final TypeReference<List<Book>> BOOK_LIST = new TypeReference<>() {
+	};
+
+	@Test
+	void finishedStreamDecodesInEveryFormat() throws IOException {
+		for (BookWireFormat format : BookWireFormat.values()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BookStreamWriter writer = new BookStreamWriter(format, out);
+			writer.write(book(1L, "Dune", 60.0));
+			writer.write(book(2L, "Emma", 12.5));
+			writer.finish();
+
+			List<Book> books = new ObjectMapper(format.getFactory()).readValue(out.toByteArray(), BOOK_LIST);
+
+			assertEquals(2, books.size(), format.name());
+			assertEquals("Emma", books.get(1).getTitle());
+			assertEquals(12.5, books.get(1).getPrice());
+			assertFalse(books.get(0).isDiscountApplied());
+		}
+	}
+
+	@Test
+	void abandonedStreamFlushesNothingFromItsBuffer() throws IOException {
+		for (BookWireFormat format : BookWireFormat.values()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BookStreamWriter writer = new BookStreamWriter(format, out);
+			writer.write(book(1L, "Dune", 60.0));
+			// Simulates a failure part-way: finish() is never reached
+
+			assertEquals(0, out.size(), format.name());
+		}
+	}
+
+	@Test
+	void abandonedStreamPastTheBufferIsNotAValidList() throws IOException {
+		for (BookWireFormat format : BookWireFormat.values()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BookStreamWriter writer = new BookStreamWriter(format, out);
+			for (long id = 1; id <= 10_000; id++) {
+				writer.write(book(id, "Dune", 60.0));
+			}
+
+			ObjectMapper mapper = new ObjectMapper(format.getFactory());
+			assertTrue(out.size() > 0, format.name());
+			assertThrows(IOException.class, () -> mapper.readValue(out.toByteArray(), BOOK_LIST), format.name());
+		}
+	}
+
+	private static Book book(Long id, String title, double price) {
+		Book book = new Book(title, "Author", price);
+		book.setId(id);
+		return book;
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.example.bookstore;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Payload size and encode/decode time of each wire format against the JSON the
+// listing endpoints return today. The streamed formats carry only the persisted
+// fields, see BookStreamWriter. Run with: java ... BookWireFormatBenchmark [sizes...]
+public class BookWireFormatBenchmark {
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+
+	private static final TypeReference<List<Book>> BOOK_LIST = new TypeReference<>() {
+	};
+
+	public static void main(String[] args) throws IOException {
+		int[] sizes = args.length > 0
+				? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+				: new int[] {10_000, 1_000_000};
+
+		for (int size : sizes) {
+			List<Book> books = generateBooks(size);
+			System.out.printf("%n%d books%n", size);
+
+			// Baseline: the enriched List<Book> the JSON listing sends today
+			ObjectMapper jsonMapper = new ObjectMapper();
+			run("json (current)", books, () -> jsonMapper.writeValueAsBytes(books), jsonMapper);
+
+			for (BookWireFormat format : BookWireFormat.values()) {
+				ObjectMapper mapper = new ObjectMapper(format.getFactory());
+				run(format.name().toLowerCase() + " (streamed)", books, () -> stream(format, books), mapper);
+			}
+		}
+	}
+
+	private static byte[] stream(BookWireFormat format, List<Book> books) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BookStreamWriter writer = new BookStreamWriter(format, out);
+		for (Book book : books) {
+			writer.write(book);
+		}
+		writer.finish();
+		return out.toByteArray();
+	}
+
+	private static void run(String name, List<Book> books, Encoder encoder, ObjectMapper decoder) throws IOException {
+		byte[] payload = null;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			payload = encoder.encode();
+			decoder.readValue(payload, BOOK_LIST);
+		}
+
+		long encodeNanos = Long.MAX_VALUE;
+		long decodeNanos = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			long start = System.nanoTime();
+			payload = encoder.encode();
+			encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			List<Book> decoded = decoder.readValue(payload, BOOK_LIST);
+			decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+			if (decoded.size() != books.size()) {
+				throw new IllegalStateException(name + " decoded " + decoded.size() + " books");
+			}
+		}
+
+		System.out.printf("  %-18s %12d bytes  %7.1f B/book  encode %8.2f ms  decode %8.2f ms%n",
+				name, payload.length, (double) payload.length / books.size(),
+				encodeNanos / 1e6, decodeNanos / 1e6);
+	}
+
+	private static List<Book> generateBooks(int count) {
+		Random random = new Random(42);
+		List<Book> books = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Book book = new Book("Title " + i, "Author " + random.nextInt(20_000),
+					Math.round((5 + random.nextDouble() * 95) * 100) / 100.0);
+			book.setId((long) i + 1);
+			book.setIsbn("ISBN-" + (1_700_000_000_000L + i));
+			book.setInternalCode("AUTI" + random.nextInt(10_000));
+			book.setViewCount(random.nextInt(1000));
+			// What BookService.enrichBookData and the controller's discount rule add to each book
+			book.setGenre("Fiction");
+			book.setDescription("A fascinating book about...");
+			if (book.getPrice() > 50.0) {
+				book.setDiscountApplied(true);
+				book.setDiscountedPrice(book.getPrice() * 0.9);
+			}
+			books.add(book);
+		}
+		return books;
+	}
+
+	@FunctionalInterface
+	private interface Encoder {
+		byte[] encode() throws IOException;
+	}
+
+}
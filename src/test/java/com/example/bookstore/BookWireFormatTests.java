@@ -0,0 +1,63 @@
+package com.example.bookstore;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookWireFormatTests {
+
+	@Test
+	void missingOrBlankAcceptMeansJson() {
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate(null));
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate(" "));
+	}
+
+	@Test
+	void invalidAcceptIsNotServed() {
+		assertNull(BookWireFormat.negotiate("not a media type"));
+	}
+
+	@Test
+	void exactBinaryTypesAreServed() {
+		assertEquals(BookWireFormat.CBOR, BookWireFormat.negotiate("application/cbor"));
+		assertEquals(BookWireFormat.SMILE, BookWireFormat.negotiate("application/x-jackson-smile"));
+	}
+
+	@Test
+	void higherQualityWinsOverListOrder() {
+		assertEquals(BookWireFormat.CBOR, BookWireFormat.negotiate("application/json;q=0.5, application/cbor"));
+		assertEquals(BookWireFormat.SMILE,
+				BookWireFormat.negotiate("application/cbor;q=0.4, application/x-jackson-smile;q=0.8"));
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate("application/cbor;q=0.5, application/json"));
+	}
+
+	@Test
+	void equalQualityKeepsClientOrder() {
+		assertEquals(BookWireFormat.SMILE,
+				BookWireFormat.negotiate("application/x-jackson-smile, application/cbor"));
+	}
+
+	@Test
+	void concreteTypeBeatsWildcardAtEqualQuality() {
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate("*/*"));
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate("application/*"));
+		assertEquals(BookWireFormat.CBOR, BookWireFormat.negotiate("*/*, application/cbor"));
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate("*/*;q=0.8, application/cbor;q=0.5"));
+	}
+
+	@Test
+	void zeroQualityIsNeverChosen() {
+		assertEquals(BookWireFormat.JSON, BookWireFormat.negotiate("application/cbor;q=0, */*"));
+		assertEquals(BookWireFormat.CBOR, BookWireFormat.negotiate("application/json;q=0, */*"));
+		assertNull(BookWireFormat.negotiate("application/cbor;q=0"));
+	}
+
+	@Test
+	void unservableTypesAreSkipped() {
+		assertEquals(BookWireFormat.CBOR, BookWireFormat.negotiate("text/html, application/cbor;q=0.9"));
+		assertNull(BookWireFormat.negotiate("text/html"));
+		assertNull(BookWireFormat.negotiate("application/xml"));
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.example.bookstore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Compares the HashMap-over-List<Book> aggregation used by the sales report with
+// the columnar snapshot. Run with: java ... CatalogAnalyticsBenchmark [books] [authors]
+public class CatalogAnalyticsBenchmark {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 10;
+
+	public static void main(String[] args) {
+		int bookCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int authorCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+		List<Book> books = generateBooks(bookCount, authorCount);
+		// Filled the way BookRepository.loadSnapshot does it
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.beginLoad();
+		for (Book book : books) {
+			snapshot.load(book.getId(), book.getAuthor(), book.getPrice(), book.getViewCount());
+		}
+		snapshot.endLoad();
+		CatalogAnalytics analytics = new CatalogAnalytics(snapshot);
+
+		System.out.printf("books=%d authors=%d%n", bookCount, authorCount);
+		report("revenueByAuthor  HashMap ", () -> revenueByAuthorWithHashMap(books).size());
+		report("revenueByAuthor  columnar", () -> analytics.revenueByAuthor().size());
+		report("priceHistogram   columnar", () -> analytics.priceHistogram(20).size());
+		report("viewPercentiles  columnar", () -> analytics.viewCountPercentiles(50, 90, 99).size());
+	}
+
+	static Map<String, Double> revenueByAuthorWithHashMap(List<Book> books) {
+		Map<String, Double> revenue = new HashMap<>();
+		for (Book book : books) {
+			double value = book.getPrice() * (book.getViewCount() * CatalogAnalytics.CONVERSION_RATE);
+			revenue.put(book.getAuthor(), revenue.getOrDefault(book.getAuthor(), 0.0) + value);
+		}
+		return revenue;
+	}
+
+	private static void report(String name, Query query) {
+		long sink = 0;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			sink += query.run();
+		}
+		long best = Long.MAX_VALUE;
+		long total = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			long start = System.nanoTime();
+			sink += query.run();
+			long elapsed = System.nanoTime() - start;
+			best = Math.min(best, elapsed);
+			total += elapsed;
+		}
+		System.out.printf("%s  best %8.2f ms  avg %8.2f ms  (%d)%n",
+				name, best / 1e6, total / 1e6 / MEASURED_ROUNDS, sink);
+	}
+
+	private static List<Book> generateBooks(int bookCount, int authorCount) {
+		Random random = new Random(42);
+		List<Book> books = new ArrayList<>(bookCount);
+		for (int i = 0; i < bookCount; i++) {
+			// Squaring a uniform draw skews the catalog towards a few prolific authors
+			double u = random.nextDouble();
+			Book book = new Book("Title " + i, "Author " + (int) (u * u * authorCount),
+					5 + Math.exp(random.nextGaussian() * 0.6 + 2.5));
+			book.setId((long) i + 1);
+			book.setViewCount(random.nextInt(1000));
+			books.add(book);
+		}
+		return books;
+	}
+
+	@FunctionalInterface
+	private interface Query {
+		int run();
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.example.bookstore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogAnalyticsTests {
+
+	@Test
+	void histogramOfEmptyCatalogHasEmptyBuckets() {
+		CatalogAnalytics analytics = new CatalogAnalytics(new CatalogSnapshot());
+
+		Map<String, Object> histogram = analytics.priceHistogram(4);
+
+		assertArrayEquals(new long[4], (long[]) histogram.get("buckets"));
+	}
+
+	@Test
+	void histogramPutsEqualPricesInFirstBucket() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		for (long id = 1; id <= 3; id++) {
+			snapshot.upsert(id, "Ann", 9.99, 0);
+		}
+
+		Map<String, Object> histogram = new CatalogAnalytics(snapshot).priceHistogram(3);
+
+		assertArrayEquals(new long[] {3, 0, 0}, (long[]) histogram.get("buckets"));
+		assertEquals(0.0, histogram.get("bucketWidth"));
+	}
+
+	@Test
+	void histogramCountsMaxPriceInLastBucket() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.upsert(1L, "Ann", 0.0, 0);
+		snapshot.upsert(2L, "Ann", 4.0, 0);
+		snapshot.upsert(3L, "Ann", 5.0, 0);
+		snapshot.upsert(4L, "Ann", 10.0, 0);
+
+		Map<String, Object> histogram = new CatalogAnalytics(snapshot).priceHistogram(2);
+
+		assertArrayEquals(new long[] {2, 2}, (long[]) histogram.get("buckets"));
+	}
+
+	@Test
+	void histogramRejectsOutOfRangeBucketCounts() {
+		CatalogAnalytics analytics = new CatalogAnalytics(new CatalogSnapshot());
+
+		assertThrows(IllegalArgumentException.class, () -> analytics.priceHistogram(0));
+		assertThrows(IllegalArgumentException.class, () -> analytics.priceHistogram(CatalogAnalytics.MAX_BUCKETS + 1));
+	}
+
+	@Test
+	void histogramSplitAcrossForkJoinMatchesTotal() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		int rows = 200_000;
+		for (long id = 0; id < rows; id++) {
+			snapshot.upsert(id, "Ann", id % 100, 0);
+		}
+
+		long[] buckets = (long[]) new CatalogAnalytics(snapshot).priceHistogram(10).get("buckets");
+
+		long total = 0;
+		for (long count : buckets) {
+			assertEquals(rows / 10, count);
+			total += count;
+		}
+		assertEquals(rows, total);
+	}
+
+	@Test
+	void revenueIsGroupedByAuthor() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.upsert(1L, "Ann", 10.0, 10);
+		snapshot.upsert(2L, "Ann", 20.0, 5);
+		snapshot.upsert(3L, "Bob", 5.0, 0);
+		CatalogAnalytics analytics = new CatalogAnalytics(snapshot);
+
+		Map<String, Double> byAuthor = analytics.revenueByAuthor();
+
+		assertEquals(20.0, byAuthor.get("Ann"), 1e-9);
+		assertFalse(byAuthor.containsKey("Bob"));
+	}
+
+	@Test
+	void percentilesUseNearestRank() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		for (int views = 1; views <= 10; views++) {
+			snapshot.upsert((long) views, "Ann", 1.0, 11 - views);
+		}
+
+		Map<String, Integer> percentiles = new CatalogAnalytics(snapshot).viewCountPercentiles(0, 10, 50, 91, 100);
+
+		assertEquals(1, percentiles.get("p0"));
+		assertEquals(1, percentiles.get("p10"));
+		assertEquals(5, percentiles.get("p50"));
+		assertEquals(10, percentiles.get("p91"));
+		assertEquals(10, percentiles.get("p100"));
+	}
+
+	@Test
+	void percentilesOfEmptyCatalogAreZero() {
+		Map<String, Integer> percentiles = new CatalogAnalytics(new CatalogSnapshot()).viewCountPercentiles(50, 99.9);
+
+		assertEquals(0, percentiles.get("p50"));
+		assertEquals(0, percentiles.get("p99.9"));
+	}
+
+}
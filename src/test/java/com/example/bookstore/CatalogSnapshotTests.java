@@ -0,0 +1,168 @@
+package com.example.bookstore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogSnapshotTests {
+
+	@Test
+	void removeMovesLastRowIntoFreedSlot() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.upsert(1L, "Ann", 10.0, 1);
+		snapshot.upsert(2L, "Bob", 20.0, 2);
+		snapshot.upsert(3L, "Cid", 30.0, 3);
+
+		snapshot.remove(1L);
+
+		assertEquals(2, snapshot.size());
+		assertEquals(-1, snapshot.rowOf(1L));
+		int row = snapshot.rowOf(3L);
+		assertEquals(0, row);
+		assertEquals(30.0, snapshot.prices().get(row));
+		assertEquals(3, snapshot.viewCounts().get(row));
+		assertEquals("Cid", snapshot.authors().decode(snapshot.authorCodes().get(row)));
+		assertEquals(1, snapshot.rowOf(2L));
+	}
+
+	@Test
+	void removeOfLastRowAndUnknownIdAreHandled() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.upsert(1L, "Ann", 10.0, 1);
+		snapshot.upsert(2L, "Bob", 20.0, 2);
+
+		snapshot.remove(2L);
+		snapshot.remove(99L);
+
+		assertEquals(1, snapshot.size());
+		assertEquals(0, snapshot.rowOf(1L));
+	}
+
+	@Test
+	void growsPastInitialCapacityKeepingValues() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		for (long id = 1; id <= 5000; id++) {
+			snapshot.upsert(id, "Author " + (id % 7), id, (int) id);
+		}
+
+		assertEquals(5000, snapshot.size());
+		for (long id = 1; id <= 5000; id++) {
+			int row = snapshot.rowOf(id);
+			assertEquals((double) id, snapshot.prices().get(row));
+			assertEquals((int) id, snapshot.viewCounts().get(row));
+		}
+	}
+
+	@Test
+	void dictionaryReusesCodesAndMapsBlankToUnknown() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.upsert(1L, "Ann", 10.0, 0);
+		snapshot.upsert(2L, "Ann", 10.0, 0);
+		snapshot.upsert(3L, null, 10.0, 0);
+		snapshot.upsert(4L, "  ", 10.0, 0);
+
+		assertEquals(2, snapshot.authors().size());
+		assertEquals(snapshot.authorCodes().get(snapshot.rowOf(1L)), snapshot.authorCodes().get(snapshot.rowOf(2L)));
+		assertEquals(CatalogSnapshot.UNKNOWN, snapshot.authors().decode(snapshot.authorCodes().get(snapshot.rowOf(3L))));
+		assertEquals(CatalogSnapshot.UNKNOWN, snapshot.authors().decode(snapshot.authorCodes().get(snapshot.rowOf(4L))));
+	}
+
+	@Test
+	void updateKeepsViewCount() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.upsert(1L, "Ann", 10.0, 5);
+		snapshot.incrementViewCount(1L);
+
+		snapshot.update(1L, "Bob", 12.5);
+
+		int row = snapshot.rowOf(1L);
+		assertEquals(12.5, snapshot.prices().get(row));
+		assertEquals(6, snapshot.viewCounts().get(row));
+		assertEquals("Bob", snapshot.authors().decode(snapshot.authorCodes().get(row)));
+	}
+
+	@Test
+	void insertStartsWithZeroViews() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+
+		snapshot.insert(1L, "Ann", 10.0);
+
+		int row = snapshot.rowOf(1L);
+		assertEquals(0, snapshot.viewCounts().get(row));
+		assertEquals(10.0, snapshot.prices().get(row));
+	}
+
+	@Test
+	void loadDoesNotResurrectRowsDeletedWhileLoading() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.beginLoad();
+		snapshot.load(1L, "Ann", 10.0, 1);
+		snapshot.remove(2L);
+		snapshot.load(2L, "Bob", 20.0, 2);
+		snapshot.endLoad();
+
+		assertEquals(1, snapshot.size());
+		assertEquals(-1, snapshot.rowOf(2L));
+	}
+
+	@Test
+	void loadAppliesWritesMadeBeforeTheCursorReachedTheRow() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.beginLoad();
+		snapshot.update(1L, "Bob", 15.0);
+		snapshot.incrementViewCount(1L);
+		snapshot.insert(2L, "Cid", 30.0);
+		snapshot.load(1L, "Ann", 10.0, 4);
+		snapshot.load(2L, "Stale", 1.0, 9);
+		snapshot.endLoad();
+
+		int row = snapshot.rowOf(1L);
+		assertEquals(15.0, snapshot.prices().get(row));
+		assertEquals(5, snapshot.viewCounts().get(row));
+		assertEquals("Bob", snapshot.authors().decode(snapshot.authorCodes().get(row)));
+		assertEquals(30.0, snapshot.prices().get(snapshot.rowOf(2L)));
+	}
+
+	@Test
+	void writesToMissingRowsOutsideALoadAreIgnored() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		snapshot.update(1L, "Ann", 10.0);
+		snapshot.incrementViewCount(1L);
+
+		snapshot.beginLoad();
+		snapshot.load(1L, "Ann", 10.0, 3);
+		snapshot.endLoad();
+
+		assertEquals(3, snapshot.viewCounts().get(snapshot.rowOf(1L)));
+	}
+
+	@Test
+	void rowIndexStaysConsistentThroughGrowthAndDeletes() {
+		CatalogSnapshot snapshot = new CatalogSnapshot();
+		Map<Long, Double> expected = new HashMap<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 50_000; i++) {
+			// Ids drawn from a small range are re-inserted and deleted many times over
+			long id = random.nextInt(20_000) * 1024L;
+			if (random.nextInt(3) == 0) {
+				snapshot.remove(id);
+				expected.remove(id);
+			} else {
+				snapshot.upsert(id, "Ann", i, 0);
+				expected.put(id, (double) i);
+			}
+		}
+
+		assertEquals(expected.size(), snapshot.size());
+		for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+			int row = snapshot.rowOf(entry.getKey());
+			assertEquals(entry.getValue(), snapshot.prices().get(row));
+		}
+		assertEquals(-1, snapshot.rowOf(3L));
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.example.bookstore;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Starts each variant several times and reports time-to-first-successful-request and
+// steady-state RSS (Linux only, read from /proc). Each variant is "label=command", e.g.
+//   java ... StartupBenchmark 5 \
+//     "default=java -jar /tmp/default.jar" \
+//     "production=java -XX:SharedArchiveFile=target/application/application.jsa -Dspring.aot.enabled=true -jar target/application/bookstore-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod"
+// Database settings are inherited from the environment (SPRING_DATASOURCE_URL, ...).
+//
+// The probe and the default load hit /api/status, which answers once the web layer is
+// up and the Spring-managed DataSource can run a query. It does not depend on catalog
+// size, unlike the analytics reports, which load the whole catalog on their first call.
+// BookController endpoints use their own hardcoded MySQL connection, so only add them with
+// -Dbenchmark.loadPaths=path1,path2,... when that database and its driver are available.
+// The probe can be changed with -Dbenchmark.probePath=...
+public class StartupBenchmark {
+
+	private static final String BASE_URL = System.getProperty("benchmark.baseUrl", "http://localhost:8080");
+	private static final String PROBE_PATH = System.getProperty("benchmark.probePath", "/api/status");
+	private static final List<String> LOAD_PATHS = Arrays.asList(
+			System.getProperty("benchmark.loadPaths", "/api/status").split(","));
+	private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+	private static final Duration STEADY_STATE_LOAD = Duration.ofSeconds(10);
+
+	private static final HttpClient client = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofMillis(200))
+			.build();
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: StartupBenchmark <runs> <label=command>...");
+			System.exit(1);
+		}
+		int runs = Integer.parseInt(args[0]);
+
+		for (String variant : Arrays.copyOfRange(args, 1, args.length)) {
+			int split = variant.indexOf('=');
+			String label = variant.substring(0, split);
+			List<String> command = Arrays.asList(variant.substring(split + 1).trim().split("\\s+"));
+
+			List<Long> startupMillis = new ArrayList<>();
+			List<Long> rssKilobytes = new ArrayList<>();
+			long loadRequests = 0;
+			long loadSuccesses = 0;
+			for (int run = 0; run < runs; run++) {
+				long[] result = measure(command);
+				startupMillis.add(result[0]);
+				rssKilobytes.add(result[1]);
+				loadRequests += result[2];
+				loadSuccesses += result[3];
+			}
+
+			System.out.printf("%-12s first request: median %6d ms  min %6d ms   steady RSS: median %7d MB  min %7d MB"
+							+ "   load: %d requests, %d ok%n",
+					label, median(startupMillis), Collections.min(startupMillis),
+					median(rssKilobytes) / 1024, Collections.min(rssKilobytes) / 1024, loadRequests, loadSuccesses);
+		}
+	}
+
+	// Returns {milliseconds until the probe first answered 2xx, RSS in kB after the load phase,
+	// load requests sent, load requests answered 2xx}
+	private static long[] measure(List<String> command) throws Exception {
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.appendTo(new File("startup-benchmark.log")))
+				.start();
+		long start = System.nanoTime();
+		try {
+			long deadline = start + STARTUP_TIMEOUT.toNanos();
+			while (!succeeds(PROBE_PATH)) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("Application exited with " + process.exitValue()
+							+ ", see startup-benchmark.log");
+				}
+				if (System.nanoTime() > deadline) {
+					throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT);
+				}
+				Thread.sleep(10);
+			}
+			long startupMillis = (System.nanoTime() - start) / 1_000_000;
+
+			// Keep serving requests for a while so RSS reflects a warmed-up process
+			long loadEnd = System.nanoTime() + STEADY_STATE_LOAD.toNanos();
+			long requests = 0;
+			long successes = 0;
+			while (System.nanoTime() < loadEnd) {
+				if (succeeds(LOAD_PATHS.get((int) (requests++ % LOAD_PATHS.size())))) {
+					successes++;
+				}
+			}
+			if (successes == 0) {
+				throw new IllegalStateException("No load request succeeded, see startup-benchmark.log");
+			}
+			return new long[] {startupMillis, rssKilobytes(process.pid()), requests, successes};
+		} finally {
+			process.destroy();
+			process.waitFor();
+		}
+	}
+
+	private static boolean succeeds(String path) throws InterruptedException {
+		try {
+			HttpResponse<Void> response = client.send(
+					HttpRequest.newBuilder(URI.create(BASE_URL + path)).timeout(Duration.ofSeconds(5)).build(),
+					HttpResponse.BodyHandlers.discarding());
+			return response.statusCode() / 100 == 2;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static long rssKilobytes(long pid) throws IOException {
+		for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+			if (line.startsWith("VmRSS:")) {
+				return Long.parseLong(line.replaceAll("\\D", ""));
+			}
+		}
+		throw new IllegalStateException("VmRSS not found for pid " + pid);
+	}
+
+	private static long median(List<Long> values) {
+		List<Long> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		return sorted.get(sorted.size() / 2);
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.example.bookstore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StatusControllerTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new StatusController(jdbcTemplate)).build();
+	}
+
+	@Test
+	void upWhenTheDatabaseAnswers() throws Exception {
+		when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+
+		mockMvc.perform(get("/api/status"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("UP"));
+	}
+
+	@Test
+	void failsWhenTheDatabaseDoesNot() {
+		when(jdbcTemplate.queryForObject("SELECT 1", Integer.class))
+				.thenThrow(new DataAccessResourceFailureException("down"));
+
+		Exception e = assertThrows(Exception.class, () -> mockMvc.perform(get("/api/status")));
+		assertInstanceOf(DataAccessResourceFailureException.class, e.getCause());
+	}
+
+}
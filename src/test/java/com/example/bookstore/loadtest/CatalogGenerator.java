@@ -0,0 +1,145 @@
+package com.example.bookstore.loadtest;
+
+import com.example.bookstore.Book;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+
+// Deterministic synthetic catalog: the same seed always produces the same books.
+// Authors follow a Zipf distribution (a few prolific authors, a long tail of
+// one-book authors), prices are log-normal around ~15 and view counts are Pareto.
+public class CatalogGenerator {
+
+	static final String[] WORDS = {"Shadow", "River", "Empire", "Garden", "Winter", "Secret", "Machine",
+			"Ocean", "Silent", "Kingdom", "Stone", "Fire", "Journey", "Memory", "Glass", "Storm", "Letter",
+			"Mountain", "Night", "Thread", "Clock", "Harbor", "Forest", "Mirror"};
+
+	private static final int BATCH_SIZE = 1000;
+
+	private final Random random;
+	private final double[] authorCdf;
+
+	public CatalogGenerator(long seed, int authorCount, double authorSkew) {
+		this.random = new Random(seed);
+		this.authorCdf = new double[authorCount];
+		double total = 0;
+		for (int rank = 0; rank < authorCount; rank++) {
+			total += 1.0 / Math.pow(rank + 1, authorSkew);
+			authorCdf[rank] = total;
+		}
+		for (int rank = 0; rank < authorCount; rank++) {
+			authorCdf[rank] /= total;
+		}
+	}
+
+	public int nextAuthorRank() {
+		int index = Arrays.binarySearch(authorCdf, random.nextDouble());
+		return Math.min(index >= 0 ? index : -index - 1, authorCdf.length - 1);
+	}
+
+	public String nextAuthor() {
+		return authorName(nextAuthorRank());
+	}
+
+	public double nextPrice() {
+		double price = Math.exp(2.7 + 0.6 * random.nextGaussian());
+		return Math.round(Math.min(Math.max(price, 0.99), 500.0) * 100) / 100.0;
+	}
+
+	public int nextViewCount() {
+		double pareto = 5 / Math.pow(1 - random.nextDouble(), 1 / 1.2);
+		return (int) Math.min(pareto, 1_000_000);
+	}
+
+	public String nextTitle() {
+		return nextWord() + " of the " + nextWord() + " " + (random.nextInt(9000) + 1000);
+	}
+
+	public String nextWord() {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	public Book nextBook() {
+		return new Book(nextTitle(), nextAuthor(), nextPrice());
+	}
+
+	public static String authorName(int rank) {
+		return "Author " + rank;
+	}
+
+	// Wipes books and authors, then inserts bookCount books and their authors in batches.
+	// Always starts from empty tables: the generated author names and ISBNs repeat on every
+	// run, so seeding on top of an earlier catalog would duplicate them.
+	public void seed(String url, String user, String password, int bookCount) throws SQLException {
+		int[] booksPerAuthor = new int[authorCdf.length];
+
+		try (Connection conn = DriverManager.getConnection(url, user, password)) {
+			conn.setAutoCommit(false);
+			try (Statement stmt = conn.createStatement()) {
+				stmt.executeUpdate("DELETE FROM books");
+				stmt.executeUpdate("DELETE FROM authors");
+			}
+			conn.commit();
+
+			try (PreparedStatement stmt = conn.prepareStatement(
+					"INSERT INTO books (title, author, price, isbn, internal_code, view_count) VALUES (?, ?, ?, ?, ?, ?)")) {
+				for (int i = 0; i < bookCount; i++) {
+					int rank = nextAuthorRank();
+					String author = authorName(rank);
+					String title = nextTitle();
+					booksPerAuthor[rank]++;
+
+					stmt.setString(1, title);
+					stmt.setString(2, author);
+					stmt.setDouble(3, nextPrice());
+					stmt.setString(4, "ISBN-SYN-" + i);
+					stmt.setString(5, author.substring(0, 2).toUpperCase() + title.substring(0, 2).toUpperCase() + i % 10000);
+					stmt.setInt(6, nextViewCount());
+					stmt.addBatch();
+
+					if ((i + 1) % BATCH_SIZE == 0) {
+						stmt.executeBatch();
+						conn.commit();
+					}
+				}
+				stmt.executeBatch();
+				conn.commit();
+			}
+
+			try (PreparedStatement stmt = conn.prepareStatement(
+					"INSERT INTO authors (name, book_count) VALUES (?, ?)")) {
+				int pending = 0;
+				for (int rank = 0; rank < booksPerAuthor.length; rank++) {
+					if (booksPerAuthor[rank] == 0) {
+						continue;
+					}
+					stmt.setString(1, authorName(rank));
+					stmt.setInt(2, booksPerAuthor[rank]);
+					stmt.addBatch();
+					if (++pending % BATCH_SIZE == 0) {
+						stmt.executeBatch();
+					}
+				}
+				stmt.executeBatch();
+				conn.commit();
+			}
+		}
+	}
+
+	// {book count, min id, max id} of the books currently in the database
+	public static long[] catalogState(String url, String user, String password) throws SQLException {
+		try (Connection conn = DriverManager.getConnection(url, user, password);
+			 Statement stmt = conn.createStatement();
+			 ResultSet rs = stmt.executeQuery("SELECT COUNT(*), MIN(id), MAX(id) FROM books")) {
+			rs.next();
+			return new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.example.bookstore.loadtest;
+
+// BookController endpoints driven by the load test, keyed by the names used in -Dloadtest.mix
+enum Endpoint {
+
+	LIST("list", "GET /api/books"),
+	GET("get", "GET /api/books/{id}"),
+	SEARCH("search", "GET /api/books/search"),
+	CREATE("create", "POST /api/books"),
+	UPDATE("update", "PUT /api/books/{id}"),
+	DELETE("delete", "DELETE /api/books/{id}"),
+	SALES_REPORT("sales", "GET /api/books/reports/sales"),
+	PRICE_HISTOGRAM("histogram", "GET /api/books/reports/price-histogram"),
+	REVENUE_BY_AUTHOR("revenueByAuthor", "GET /api/books/reports/revenue-by-author"),
+	VIEW_PERCENTILES("viewPercentiles", "GET /api/books/reports/view-percentiles");
+
+	final String key;
+	final String route;
+
+	Endpoint(String key, String route) {
+		this.key = key;
+		this.route = route;
+	}
+
+	static Endpoint fromKey(String key) {
+		for (Endpoint endpoint : values()) {
+			if (endpoint.key.equals(key)) {
+				return endpoint;
+			}
+		}
+		throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.example.bookstore.loadtest;
+
+import java.util.Arrays;
+
+// Keeps every measured latency so percentiles are exact rather than bucketed.
+// A few hundred thousand samples per endpoint is only a few MB. Failed requests are
+// kept apart: a fast 4xx/5xx must not make the endpoint's latency look better.
+class LatencyRecorder {
+
+	private long[] successes = new long[1024];
+	private int successCount;
+	private long[] errors = new long[64];
+	private int errorCount;
+
+	synchronized void record(long latencyNanos, boolean success) {
+		if (success) {
+			if (successCount == successes.length) {
+				successes = Arrays.copyOf(successes, successCount * 2);
+			}
+			successes[successCount++] = latencyNanos;
+		} else {
+			if (errorCount == errors.length) {
+				errors = Arrays.copyOf(errors, errorCount * 2);
+			}
+			errors[errorCount++] = latencyNanos;
+		}
+	}
+
+	synchronized Summary summarize(double measuredSeconds) {
+		long[] sorted = Arrays.copyOf(successes, successCount);
+		Arrays.sort(sorted);
+		long[] sortedErrors = Arrays.copyOf(errors, errorCount);
+		Arrays.sort(sortedErrors);
+		return new Summary(successCount + errorCount, errorCount, successCount / measuredSeconds,
+				percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+				percentile(sorted, 99.9), percentile(sorted, 100), percentile(sortedErrors, 50));
+	}
+
+	// Nearest-rank percentile in milliseconds
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1] / 1e6;
+	}
+
+	// Latency percentiles and throughput cover successful requests only
+	static class Summary {
+		final int requests;
+		final int errors;
+		final double throughput;
+		final double p50;
+		final double p90;
+		final double p99;
+		final double p999;
+		final double max;
+		final double errorP50;
+
+		Summary(int requests, int errors, double throughput,
+				double p50, double p90, double p99, double p999, double max, double errorP50) {
+			this.requests = requests;
+			this.errors = errors;
+			this.throughput = throughput;
+			this.p50 = p50;
+			this.p90 = p90;
+			this.p99 = p99;
+			this.p999 = p999;
+			this.max = max;
+			this.errorP50 = errorP50;
+		}
+	}
+
+}
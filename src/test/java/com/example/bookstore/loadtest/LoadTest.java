@@ -0,0 +1,301 @@
+package com.example.bookstore.loadtest;
+
+import com.example.bookstore.Book;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load test against a running bookstore: requests are fired on a fixed
+// schedule at the target rate whether or not earlier ones have answered, and latency
+// is measured from the scheduled send time, so a stalled server shows up in the
+// percentiles instead of silently lowering the offered load. Requests still unanswered
+// 60 s after the schedule ends are counted as errors rather than dropped.
+//
+// Run with: ./mvnw test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.example.bookstore.loadtest.LoadTest -Dloadtest.books=2000000 ...
+// The JDBC driver for loadtest.jdbcUrl must be on the test classpath. Seeding is opt-in:
+// -Dloadtest.seedCatalog=true wipes existing books and authors, so it also needs
+// -Dloadtest.reset=true to confirm. Each run creates, updates, deletes and views books, so
+// only reseeded runs start from the same catalog; the catalog a run started from (book
+// count and id range) is recorded with the settings. -Dloadtest.accept sets the Accept
+// header sent to the list and search endpoints, e.g. application/cbor.
+public class LoadTest {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+	private final long seed = Long.getLong("loadtest.seed", 42);
+	private final int rate = Integer.getInteger("loadtest.rate", 200);
+	private final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 30);
+	private final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 120);
+	private final String mixSpec = System.getProperty("loadtest.mix",
+			"get:40,search:15,create:10,update:10,delete:5,sales:2,list:1,"
+					+ "histogram:4,revenueByAuthor:4,viewPercentiles:5");
+	private final String accept = System.getProperty("loadtest.accept", "application/json");
+	private final Map<Endpoint, Integer> mix = parseMix(mixSpec);
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+	private final ConcurrentLinkedDeque<Long> createdIds = new ConcurrentLinkedDeque<>();
+	// Requests sent but not yet answered, keyed by sequence number. Whoever removes an
+	// entry (the response callback or the drain deadline) records it, exactly once.
+	private final Map<Long, InFlight> inFlight = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+
+	private CatalogGenerator generator;
+	private long minId;
+	private long maxId;
+
+	public static void main(String[] args) throws Exception {
+		new LoadTest().run();
+	}
+
+	void run() throws Exception {
+		String jdbcUrl = System.getProperty("loadtest.jdbcUrl", "jdbc:mysql://localhost:3306/bookstore");
+		String jdbcUser = System.getProperty("loadtest.jdbcUser", "root");
+		String jdbcPassword = System.getProperty("loadtest.jdbcPassword", "password");
+		int books = Integer.getInteger("loadtest.books", 1_000_000);
+		int authors = Integer.getInteger("loadtest.authors", 50_000);
+		double authorSkew = Double.parseDouble(System.getProperty("loadtest.authorSkew", "1.1"));
+
+		boolean reseed = Boolean.getBoolean("loadtest.seedCatalog");
+		if (reseed && !Boolean.getBoolean("loadtest.reset")) {
+			throw new IllegalArgumentException(
+					"-Dloadtest.seedCatalog=true deletes all books and authors; add -Dloadtest.reset=true to confirm");
+		}
+
+		CatalogGenerator catalog = new CatalogGenerator(seed, authors, authorSkew);
+		// Separate stream for request payloads so skipping the seeding step does not change them
+		generator = new CatalogGenerator(seed + 1, authors, authorSkew);
+		if (reseed) {
+			long start = System.nanoTime();
+			catalog.seed(jdbcUrl, jdbcUser, jdbcPassword, books);
+			System.out.printf("Seeded %d books by up to %d authors in %.1f s%n",
+					books, authors, (System.nanoTime() - start) / 1e9);
+		} else {
+			System.out.println("WARNING: catalog not reseeded (-Dloadtest.seedCatalog=true -Dloadtest.reset=true);"
+					+ " earlier runs' writes carry over, so results are only comparable with the same starting catalog");
+		}
+		long[] state = CatalogGenerator.catalogState(jdbcUrl, jdbcUser, jdbcPassword);
+		minId = state[1];
+		maxId = state[2];
+
+		for (Endpoint endpoint : Endpoint.values()) {
+			recorders.put(endpoint, new LatencyRecorder());
+		}
+		drive();
+
+		Map<String, String> settings = new LinkedHashMap<>();
+		settings.put("seed", String.valueOf(seed));
+		// The catalog as the run found it, after any reseeding
+		settings.put("reseeded", String.valueOf(reseed));
+		if (reseed) {
+			settings.put("authors", String.valueOf(authors));
+			settings.put("authorSkew", String.valueOf(authorSkew));
+		}
+		settings.put("catalogBooks", String.valueOf(state[0]));
+		settings.put("catalogMinId", String.valueOf(minId));
+		settings.put("catalogMaxId", String.valueOf(maxId));
+		settings.put("rate", String.valueOf(rate));
+		settings.put("warmupSeconds", String.valueOf(warmupSeconds));
+		settings.put("durationSeconds", String.valueOf(durationSeconds));
+		settings.put("mix", mixSpec);
+		settings.put("accept", accept);
+
+		Map<Endpoint, LatencyRecorder.Summary> summaries = new EnumMap<>(Endpoint.class);
+		for (Map.Entry<Endpoint, LatencyRecorder> entry : recorders.entrySet()) {
+			summaries.put(entry.getKey(), entry.getValue().summarize(durationSeconds));
+		}
+		LoadTestReport report = new LoadTestReport(settings, summaries);
+		report.print();
+		report.writeCsv(Path.of(System.getProperty("loadtest.output", "target/loadtest-results.csv")));
+		String baseline = System.getProperty("loadtest.baseline");
+		if (baseline != null) {
+			report.compareWith(Path.of(baseline));
+		}
+	}
+
+	private void drive() throws InterruptedException {
+		// The schedule and request choices come from one seeded Random, so every run sends the same sequence
+		Random random = new Random(seed);
+		int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+		long interval = 1_000_000_000L / rate;
+		long start = System.nanoTime();
+		long measureStart = start + warmupSeconds * 1_000_000_000L;
+		long end = measureStart + durationSeconds * 1_000_000_000L;
+
+		for (long scheduled = start; scheduled < end; scheduled += interval) {
+			long wait = scheduled - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			Endpoint endpoint = pick(random.nextInt(totalWeight));
+			send(endpoint, random, scheduled, scheduled >= measureStart);
+		}
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+		while (!inFlight.isEmpty() && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+
+		// Still unanswered at the deadline: count as errors so stalls stay visible
+		long now = System.nanoTime();
+		for (Long id : inFlight.keySet()) {
+			InFlight abandoned = inFlight.remove(id);
+			if (abandoned != null && abandoned.measured) {
+				recorders.get(abandoned.endpoint).record(now - abandoned.scheduled, false);
+			}
+		}
+	}
+
+	private void send(Endpoint endpoint, Random random, long scheduled, boolean measured) {
+		Long deleteId = null;
+		if (endpoint == Endpoint.DELETE) {
+			// Only delete books this run created, so seeded ids stay valid for get/update
+			deleteId = createdIds.pollFirst();
+			if (deleteId == null) {
+				endpoint = Endpoint.CREATE;
+			}
+		}
+		HttpRequest request = buildRequest(endpoint, random, deleteId);
+		Endpoint sent = endpoint;
+
+		long id = sequence.incrementAndGet();
+		inFlight.put(id, new InFlight(sent, scheduled, measured));
+		client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+				.whenComplete((response, error) -> {
+					long latency = System.nanoTime() - scheduled;
+					if (inFlight.remove(id) == null) {
+						// Already written off by the drain deadline
+						return;
+					}
+					boolean success = error == null && response.statusCode() / 100 == 2;
+					if (measured) {
+						recorders.get(sent).record(latency, success);
+					}
+					if (success && sent == Endpoint.CREATE) {
+						rememberCreated(response.body());
+					}
+				});
+	}
+
+	private HttpRequest buildRequest(Endpoint endpoint, Random random, Long deleteId) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+		switch (endpoint) {
+			case LIST:
+				return builder.uri(uri("/api/books")).header("Accept", accept).GET().build();
+			case GET:
+				return builder.uri(uri("/api/books/" + randomId(random))).GET().build();
+			case SEARCH:
+				// Mostly title words, sometimes an author name
+				String query = random.nextInt(4) == 0 ? generator.nextAuthor() : generator.nextWord();
+				return builder.uri(uri("/api/books/search?query=" + URLEncoder.encode(query, StandardCharsets.UTF_8)))
+						.header("Accept", accept).GET().build();
+			case CREATE:
+				return builder.uri(uri("/api/books")).header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(toJson(generator.nextBook()))).build();
+			case UPDATE:
+				Book changes = new Book(null, null, generator.nextPrice());
+				return builder.uri(uri("/api/books/" + randomId(random))).header("Content-Type", "application/json")
+						.PUT(HttpRequest.BodyPublishers.ofString(toJson(changes))).build();
+			case DELETE:
+				return builder.uri(uri("/api/books/" + deleteId)).DELETE().build();
+			case SALES_REPORT:
+				return builder.uri(uri("/api/books/reports/sales")).GET().build();
+			case PRICE_HISTOGRAM:
+				return builder.uri(uri("/api/books/reports/price-histogram?buckets=" + (10 + random.nextInt(41))))
+						.GET().build();
+			case REVENUE_BY_AUTHOR:
+				return builder.uri(uri("/api/books/reports/revenue-by-author")).GET().build();
+			case VIEW_PERCENTILES:
+				return builder.uri(uri("/api/books/reports/view-percentiles")).GET().build();
+			default:
+				throw new IllegalStateException("Unhandled endpoint " + endpoint);
+		}
+	}
+
+	private Endpoint pick(int roll) {
+		for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException("Roll outside of mix weights");
+	}
+
+	private long randomId(Random random) {
+		return minId + (long) (random.nextDouble() * (maxId - minId + 1));
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUrl + path);
+	}
+
+	private void rememberCreated(byte[] body) {
+		try {
+			JsonNode id = objectMapper.readTree(body).get("id");
+			if (id != null && !id.isNull()) {
+				createdIds.addLast(id.asLong());
+			}
+		} catch (Exception e) {
+			// A create we cannot parse is simply not offered for deletion
+		}
+	}
+
+	private static String toJson(Book book) {
+		try {
+			return objectMapper.writeValueAsString(book);
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to serialize book", e);
+		}
+	}
+
+	private static Map<Endpoint, Integer> parseMix(String spec) {
+		Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+		for (String part : spec.split(",")) {
+			String[] keyAndWeight = part.trim().split(":");
+			int weight = Integer.parseInt(keyAndWeight[1]);
+			if (weight > 0) {
+				mix.put(Endpoint.fromKey(keyAndWeight[0]), weight);
+			}
+		}
+		if (mix.isEmpty()) {
+			throw new IllegalArgumentException("Mix must give at least one endpoint a positive weight");
+		}
+		return mix;
+	}
+
+	private static class InFlight {
+		final Endpoint endpoint;
+		final long scheduled;
+		final boolean measured;
+
+		InFlight(Endpoint endpoint, long scheduled, boolean measured) {
+			this.endpoint = endpoint;
+			this.scheduled = scheduled;
+			this.measured = measured;
+		}
+	}
+
+}
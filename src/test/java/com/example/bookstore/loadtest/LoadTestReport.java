@@ -0,0 +1,99 @@
+package com.example.bookstore.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Per-endpoint results as a console table and a CSV file. The run settings are written
+// as "# key=value" lines at the top so a later run can check it is comparable.
+class LoadTestReport {
+
+	private static final String HEADER = "endpoint,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,error_p50_ms";
+
+	private final Map<String, String> settings;
+	private final Map<Endpoint, LatencyRecorder.Summary> summaries;
+
+	LoadTestReport(Map<String, String> settings, Map<Endpoint, LatencyRecorder.Summary> summaries) {
+		this.settings = settings;
+		this.summaries = summaries;
+	}
+
+	void print() {
+		System.out.printf("%n%-42s %9s %7s %9s %9s %9s %9s %9s %9s %10s%n", "endpoint", "requests", "errors",
+				"ok req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "err p50 ms");
+		for (Map.Entry<Endpoint, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+			LatencyRecorder.Summary s = entry.getValue();
+			if (s.requests == 0) {
+				continue;
+			}
+			System.out.printf("%-42s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %10.2f%n", entry.getKey().route,
+					s.requests, s.errors, s.throughput, s.p50, s.p90, s.p99, s.p999, s.max, s.errorP50);
+		}
+	}
+
+	void writeCsv(Path path) throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<String, String> setting : settings.entrySet()) {
+			lines.add("# " + setting.getKey() + "=" + setting.getValue());
+		}
+		lines.add(HEADER);
+		for (Map.Entry<Endpoint, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+			LatencyRecorder.Summary s = entry.getValue();
+			lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", entry.getKey().key,
+					s.requests, s.errors, s.throughput, s.p50, s.p90, s.p99, s.p999, s.max, s.errorP50));
+		}
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		Files.write(path, lines);
+		System.out.println("\nResults written to " + path);
+	}
+
+	// Prints throughput and latency changes against an earlier results file
+	void compareWith(Path baselinePath) throws IOException {
+		Map<String, String> baselineSettings = new LinkedHashMap<>();
+		Map<String, String[]> baselineRows = new HashMap<>();
+		for (String line : Files.readAllLines(baselinePath)) {
+			if (line.startsWith("# ")) {
+				String[] keyAndValue = line.substring(2).split("=", 2);
+				baselineSettings.put(keyAndValue[0], keyAndValue[1]);
+			} else if (!line.equals(HEADER) && !line.isBlank()) {
+				String[] columns = line.split(",");
+				baselineRows.put(columns[0], columns);
+			}
+		}
+
+		if (!baselineSettings.equals(settings)) {
+			System.out.println("\nWARNING: baseline was recorded with different settings: " + baselineSettings);
+		}
+
+		System.out.printf("%nCompared with %s%n%-42s %12s %12s %12s %12s%n", baselinePath,
+				"endpoint", "ok req/s", "p50", "p99", "errors");
+		for (Map.Entry<Endpoint, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+			String[] base = baselineRows.get(entry.getKey().key);
+			LatencyRecorder.Summary s = entry.getValue();
+			if (base == null || s.requests == 0) {
+				continue;
+			}
+			System.out.printf("%-42s %12s %12s %12s %12s%n", entry.getKey().route,
+					change(Double.parseDouble(base[3]), s.throughput),
+					change(Double.parseDouble(base[4]), s.p50),
+					change(Double.parseDouble(base[6]), s.p99),
+					base[2] + " -> " + s.errors);
+		}
+	}
+
+	private static String change(double before, double after) {
+		if (before == 0) {
+			return "n/a";
+		}
+		return String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+	}
+
+}